@@ -4,6 +4,7 @@ import com.user.dto.AuthRequest;
 import com.user.dto.AuthResponse;
 import com.user.entity.User;
 import com.user.security.JwtUtils;
+import com.user.service.LoginActivityTracker;
 import com.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,17 +27,21 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
     private final UserService userService;
+    private final LoginActivityTracker loginActivityTracker;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtUtils jwtUtils, UserService userService) {
+    public AuthController(AuthenticationManager authenticationManager, JwtUtils jwtUtils, UserService userService,
+                          LoginActivityTracker loginActivityTracker) {
         this.authenticationManager = authenticationManager;
         this.jwtUtils = jwtUtils;
         this.userService = userService;
+        this.loginActivityTracker = loginActivityTracker;
     }
 
     @Operation(
             summary = "User login",
             description = "Authenticate user with email and password. Returns a JWT token for subsequent API calls."
     )
+    @EndpointBudget(statements = 1, allocatedBytes = 3_000_000)
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
         try {
@@ -46,6 +51,7 @@ public class AuthController {
 
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             String token = jwtUtils.generateToken(userDetails.getUsername());
+            loginActivityTracker.recordLogin(userDetails.getUsername());
             return ResponseEntity.ok(new AuthResponse(token));
         } catch (AuthenticationException ex) {
             return ResponseEntity.status(401).build();
@@ -56,6 +62,7 @@ public class AuthController {
             summary = "User registration",
             description = "Register a new user account. The user will be created and can then login to get a JWT token."
     )
+    @EndpointBudget(statements = 1, allocatedBytes = 3_000_000)
     @PostMapping("/register")
     public ResponseEntity<User> register(@RequestBody User user) {
         User created = userService.createUser(user);
@@ -0,0 +1,24 @@
+package com.user.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the per-request cost an endpoint is allowed: the number of SQL statements
+ * Hibernate prepares and the bytes allocated on the request thread. Enforced by
+ * EndpointBudgetTests; raise a budget only together with the change that needs it.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EndpointBudget {
+
+    /** Maximum SQL statements prepared while handling one request. */
+    int statements();
+
+    /** Maximum bytes allocated by the request thread while handling one request. */
+    long allocatedBytes();
+}
@@ -27,6 +27,7 @@ public class UserController {
             summary = "Create a new user",
             description = "Creates a new user account. Password will be encrypted automatically."
     )
+    @EndpointBudget(statements = 2, allocatedBytes = 3_500_000)
     @PostMapping("/save")
     public ResponseEntity<User> createUser(@Validated @RequestBody User user) {
         User created = userService.createUser(user);
@@ -37,6 +38,7 @@ public class UserController {
             summary = "Get user by ID",
             description = "Retrieves a user by their unique identifier. Requires authentication."
     )
+    @EndpointBudget(statements = 2, allocatedBytes = 600_000)
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         Optional<User> user = userService.getUserById(id);
@@ -47,6 +49,7 @@ public class UserController {
             summary = "Get all users",
             description = "Retrieves a paginated list of all users. Supports pagination with page and size parameters."
     )
+    @EndpointBudget(statements = 2, allocatedBytes = 600_000)
     @GetMapping
     public ResponseEntity<?> listUsers(
             @io.swagger.v3.oas.annotations.Parameter(description = "Page number (0-indexed)", example = "0")
@@ -62,6 +65,7 @@ public class UserController {
             summary = "Update user",
             description = "Updates an existing user by ID. All fields can be updated except ID and timestamps."
     )
+    @EndpointBudget(statements = 4, allocatedBytes = 3_500_000)
     @PutMapping("/{id}")
     public ResponseEntity<User> updateUser(@PathVariable Long id, @Validated @RequestBody User user) {
         if (!userService.existsById(id)) {
@@ -75,6 +79,7 @@ public class UserController {
             summary = "Delete user by ID",
             description = "Permanently deletes a user by their ID. This action cannot be undone."
     )
+    @EndpointBudget(statements = 5, allocatedBytes = 600_000)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         if (!userService.existsById(id)) {
@@ -88,6 +93,7 @@ public class UserController {
             summary = "Get user by email",
             description = "Retrieves a user by their email address. Requires authentication."
     )
+    @EndpointBudget(statements = 2, allocatedBytes = 600_000)
     @GetMapping("/by-email/{email}")
     public ResponseEntity<User> getByEmail(@PathVariable String email) {
         Optional<User> u = userService.getUserByEmail(email);
@@ -11,6 +11,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -68,4 +69,14 @@ public class User implements Serializable {
     @Column(nullable = false)
     @Schema(description = "Timestamp when the user was last updated", example = "2024-01-01T00:00:00Z", accessMode = Schema.AccessMode.READ_ONLY)
     private Instant updatedAt;
+
+    // Written only by LoginActivityTracker's batched flush, never through JPA
+    @Column(insertable = false, updatable = false)
+    @Schema(description = "Timestamp of the user's most recent successful login", example = "2024-01-01T00:00:00Z", accessMode = Schema.AccessMode.READ_ONLY)
+    private Instant lastLoginAt;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    @Schema(description = "Number of successful logins", example = "42", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long loginCount;
 }
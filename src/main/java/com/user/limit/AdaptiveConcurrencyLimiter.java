@@ -0,0 +1,159 @@
+package com.user.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency based concurrency limit, modelled on the gradient algorithm: the limit grows
+ * while short term latency tracks the long term baseline and shrinks as requests start
+ * queueing. Overload signals (requests slower than the timeout, 503/504 responses and
+ * failures to obtain a connection or transaction) are treated as drops and cut the limit
+ * multiplicatively (AIMD backoff). Other errors don't move the limit, so a client can't
+ * shrink it by sending requests that fail.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    /**
+     * How a finished request should feed into the limit.
+     */
+    public enum Outcome {
+        /** Completed normally; its latency drives the gradient. */
+        SUCCESS,
+        /** Failed for reasons unrelated to load; only the timeout check applies. */
+        IGNORED,
+        /** Failed because the service is overloaded; backs the limit off. */
+        DROPPED
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long timeoutNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(@Value("${concurrency-limit.initial:20}") int initialLimit,
+                                      @Value("${concurrency-limit.min:5}") int minLimit,
+                                      @Value("${concurrency-limit.max:200}") int maxLimit,
+                                      @Value("${concurrency-limit.timeout-ms:5000}") long timeoutMs,
+                                      MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("user.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("user.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(meterRegistry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            rejected.put(priority, Counter.builder("user.concurrency.rejected")
+                    .description("Requests rejected by the concurrency limiter")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Admits a request if the in-flight count is below the priority's share of the limit.
+     * Every successful call must be paired with {@link #release(long, Outcome)}.
+     */
+    public boolean tryAcquire(RequestPriority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.getShare()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and feeds its latency into the limit.
+     *
+     * @param rttNanos time the request spent inside the chain
+     * @param outcome  how the request ended
+     */
+    public void release(long rttNanos, Outcome outcome) {
+        int current = inFlight.getAndDecrement();
+        onSample(rttNanos, current, outcome);
+    }
+
+    /**
+     * True if the failure means a connection or transaction could not be obtained,
+     * e.g. the Hikari pool timed out, as opposed to an ordinary application error.
+     */
+    public static boolean isOverload(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof CannotCreateTransactionException || t instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtSample, Outcome outcome) {
+        double current = limit;
+        // Checked first: under overload requests typically time out waiting for a connection and fail
+        if (outcome == Outcome.DROPPED || rttNanos > timeoutNanos) {
+            limit = Math.max(minLimit, current * BACKOFF_RATIO);
+            return;
+        }
+        if (outcome == Outcome.IGNORED) {
+            return;
+        }
+
+        shortRtt = shortRtt == 0 ? rttNanos : shortRtt + (rttNanos - shortRtt) / SHORT_WINDOW;
+        longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) / LONG_WINDOW;
+
+        // Let the baseline recover quickly after a sustained latency shift
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Don't grow the limit while the app isn't using it
+        if (inFlightAtSample * 2 < current) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,69 @@
+package com.user.limit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds load with a bare 503 once the adaptive limit is reached, before any
+ * authentication or database work is done for the request.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final boolean enabled;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                  @Value("${concurrency-limit.enabled:true}") boolean enabled) {
+        this.limiter = limiter;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // health probes and docs must keep answering under overload
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!limiter.tryAcquire(RequestPriority.of(request))) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            return;
+        }
+
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            limiter.release(System.nanoTime() - start, outcome(response.getStatus(), failure));
+        }
+    }
+
+    private static AdaptiveConcurrencyLimiter.Outcome outcome(int status, Throwable failure) {
+        // Only overload counts as a drop; ordinary 5xx (e.g. a duplicate email) must not shrink the limit
+        if (status == HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                || status == HttpServletResponse.SC_GATEWAY_TIMEOUT
+                || (failure != null && AdaptiveConcurrencyLimiter.isOverload(failure))) {
+            return AdaptiveConcurrencyLimiter.Outcome.DROPPED;
+        }
+        if (failure != null || status >= 500) {
+            return AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+        }
+        return AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+    }
+}
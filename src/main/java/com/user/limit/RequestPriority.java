@@ -0,0 +1,37 @@
+package com.user.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Priority partitions used by the concurrency limiter. Each partition may only
+ * admit a request while the total in-flight count is below its share of the
+ * current limit, so lower priorities are shed first as the service saturates.
+ */
+public enum RequestPriority {
+
+    /** Cheap reads; may use the whole limit. */
+    READ(1.0),
+
+    /** Creates, updates and deletes. */
+    WRITE(0.9),
+
+    /** Login and registration; BCrypt makes these the most expensive calls, so they go first. */
+    AUTH(0.7);
+
+    private final double share;
+
+    RequestPriority(double share) {
+        this.share = share;
+    }
+
+    public double getShare() {
+        return share;
+    }
+
+    public static RequestPriority of(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        return "GET".equals(request.getMethod()) ? READ : WRITE;
+    }
+}
@@ -0,0 +1,176 @@
+package com.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers last-login timestamps and login counts in memory and writes them to the
+ * users table in JDBC batches, so a successful login never issues an UPDATE itself.
+ * Repeated logins by the same user between flushes are coalesced into one row update.
+ */
+@Service
+public class LoginActivityTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginActivityTracker.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login_at = GREATEST(COALESCE(last_login_at, ?), ?), " +
+            "login_count = login_count + ? WHERE email = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPending;
+    private final int batchSize;
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Counter dropped;
+    private final Counter flushed;
+    private final Counter orphaned;
+
+    public LoginActivityTracker(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${login-activity.max-pending:100000}") int maxPending,
+                                @Value("${login-activity.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+
+        Gauge.builder("user.login-activity.pending", pending, Map::size)
+                .description("Users with login activity waiting to be flushed")
+                .register(meterRegistry);
+        Gauge.builder("user.login-activity.flush.lag", this, LoginActivityTracker::flushLagSeconds)
+                .description("Age of the oldest unflushed login activity")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("user.login-activity.dropped")
+                .description("Logins not recorded because the buffer was full")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("user.login-activity.flushed")
+                .description("User rows updated by the login activity flusher")
+                .register(meterRegistry);
+        this.orphaned = Counter.builder("user.login-activity.orphaned")
+                .description("Buffered logins discarded because no user row matched, e.g. the email changed or the user was deleted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a successful login. Only touches the in-memory buffer.
+     */
+    public void recordLogin(String email) {
+        Instant now = Instant.now();
+        if (pending.size() >= maxPending && !pending.containsKey(email)) {
+            dropped.increment();
+            return;
+        }
+        pending.merge(email, new Pending(now, 1, System.nanoTime()), Pending::combine);
+    }
+
+    @Scheduled(fixedDelayString = "${login-activity.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, Pending>> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        for (String email : pending.keySet()) {
+            // remove() hands over the entry atomically; logins arriving afterwards start a new one
+            Pending p = pending.remove(email);
+            if (p == null) {
+                continue;
+            }
+            batch.add(Map.entry(email, p));
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<Map.Entry<String, Pending>> batch) {
+        try {
+            // one transaction per batch, so a failed batch can be re-queued without double counting
+            int[][] counts = transactionTemplate.execute(status ->
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                        Timestamp lastLogin = Timestamp.from(entry.getValue().lastLoginAt());
+                        ps.setTimestamp(1, lastLogin);
+                        ps.setTimestamp(2, lastLogin);
+                        ps.setLong(3, entry.getValue().count());
+                        ps.setString(4, entry.getKey());
+                    }));
+            recordCounts(counts);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to flush login activity for {} users, will retry", batch.size(), ex);
+            for (Map.Entry<String, Pending> entry : batch) {
+                pending.merge(entry.getKey(), entry.getValue(), Pending::combine);
+            }
+        }
+    }
+
+    private void recordCounts(int[][] counts) {
+        int updated = 0;
+        int missed = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                // drivers that rewrite batches report SUCCESS_NO_INFO instead of a row count
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    updated++;
+                } else {
+                    missed++;
+                }
+            }
+        }
+        flushed.increment(updated);
+        if (missed > 0) {
+            orphaned.increment(missed);
+            log.debug("Discarded login activity for {} users with no matching row", missed);
+        }
+    }
+
+    private double flushLagSeconds() {
+        long oldest = Long.MAX_VALUE;
+        for (Pending p : pending.values()) {
+            oldest = Math.min(oldest, p.firstSeenNanos());
+        }
+        if (oldest == Long.MAX_VALUE) {
+            return 0;
+        }
+        return (System.nanoTime() - oldest) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private record Pending(Instant lastLoginAt, long count, long firstSeenNanos) {
+
+        Pending combine(Pending other) {
+            Instant latest = lastLoginAt.isAfter(other.lastLoginAt) ? lastLoginAt : other.lastLoginAt;
+            return new Pending(latest, count + other.count, Math.min(firstSeenNanos, other.firstSeenNanos));
+        }
+    }
+}
@@ -29,6 +29,9 @@ public class UserService {
     public User createUser(User user) {
         // Ensure ID not set for create
         user.setId(null);
+        // login tracking columns aren't insertable; mirror the database defaults so the response matches the row
+        user.setLastLoginAt(null);
+        user.setLoginCount(0L);
         if (user.getPassword() != null && !user.getPassword().isBlank()) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         }
@@ -0,0 +1,201 @@
+package com.user.warmup;
+
+import com.user.entity.User;
+import com.user.repository.UserRepository;
+import com.user.security.JwtUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Exercises the request hot paths (JWT, BCrypt, Jackson, Hibernate, Hikari) before the
+ * pod reports ready. Runners execute before Spring Boot flips readiness to
+ * ACCEPTING_TRAFFIC, so blocking here keeps the readiness probe at REFUSING_TRAFFIC
+ * until warm-up finishes or the time budget runs out. Nothing is written to the database.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String WARMUP_EMAIL = "warmup@user-service.invalid";
+
+    private final JwtUtils jwtUtils;
+    private final PasswordEncoder passwordEncoder;
+    private final JsonMapper jsonMapper;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final long timeBudgetMs;
+    private final int iterations;
+    private final int bcryptIterations;
+    private final int queryIterations;
+
+    private volatile long deadline;
+
+    public WarmupRunner(JwtUtils jwtUtils,
+                        PasswordEncoder passwordEncoder,
+                        JsonMapper jsonMapper,
+                        UserRepository userRepository,
+                        PlatformTransactionManager transactionManager,
+                        DataSource dataSource,
+                        MeterRegistry meterRegistry,
+                        @Value("${warm-up.enabled:true}") boolean enabled,
+                        @Value("${warm-up.time-budget-ms:30000}") long timeBudgetMs,
+                        @Value("${warm-up.iterations:2000}") int iterations,
+                        @Value("${warm-up.bcrypt-iterations:10}") int bcryptIterations,
+                        @Value("${warm-up.query-iterations:200}") int queryIterations) {
+        this.jwtUtils = jwtUtils;
+        this.passwordEncoder = passwordEncoder;
+        this.jsonMapper = jsonMapper;
+        this.userRepository = userRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timeBudgetMs = timeBudgetMs;
+        this.iterations = iterations;
+        this.bcryptIterations = bcryptIterations;
+        this.queryIterations = queryIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        // No need to publish REFUSING_TRAFFIC: readiness stays there until Boot publishes
+        // ACCEPTING_TRAFFIC, which only happens after all runners have returned.
+        long start = System.nanoTime();
+        deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "warm-up"));
+        try {
+            Future<?> phases = executor.submit(this::runPhases);
+            phases.get(timeBudgetMs, TimeUnit.MILLISECONDS);
+            log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (TimeoutException ex) {
+            log.warn("Warm-up exceeded its {} ms budget, accepting traffic anyway", timeBudgetMs);
+        } catch (ExecutionException ex) {
+            log.warn("Warm-up failed, accepting traffic anyway", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runPhases() {
+        phase("connection-pool", this::fillConnectionPool);
+        phase("jwt", this::warmJwt);
+        phase("bcrypt", this::warmBcrypt);
+        phase("jackson", this::warmJackson);
+        phase("hibernate", this::warmHibernate);
+    }
+
+    private void phase(String name, Runnable body) {
+        if (expired()) {
+            log.info("Warm-up phase '{}' skipped, budget exhausted", name);
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        body.run();
+        long nanos = sample.stop(Timer.builder("user.warmup.phase")
+                .description("Time spent in each warm-up phase")
+                .tag("phase", name)
+                .register(meterRegistry));
+        log.info("Warm-up phase '{}' took {} ms", name, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private boolean expired() {
+        return Thread.currentThread().isInterrupted() || System.nanoTime() - deadline > 0;
+    }
+
+    private void fillConnectionPool() {
+        int size = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 1;
+        List<Connection> held = new ArrayList<>(size);
+        try {
+            // hold connections simultaneously so the pool has to open every one of them
+            for (int i = 0; i < size && !expired(); i++) {
+                Connection connection = dataSource.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not pre-fill connection pool", ex);
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // returning to the pool; nothing useful to do
+                }
+            }
+        }
+    }
+
+    private void warmJwt() {
+        for (int i = 0; i < iterations && !expired(); i++) {
+            String token = jwtUtils.generateToken(WARMUP_EMAIL);
+            if (jwtUtils.validateToken(token)) {
+                jwtUtils.getSubjectFromToken(token);
+            }
+        }
+    }
+
+    private void warmBcrypt() {
+        String hash = passwordEncoder.encode("warm-up-password");
+        for (int i = 0; i < bcryptIterations && !expired(); i++) {
+            passwordEncoder.matches("warm-up-password", hash);
+        }
+    }
+
+    private void warmJackson() {
+        User user = User.builder()
+                .id(1L)
+                .username("warmup")
+                .email(WARMUP_EMAIL)
+                .password("warm-up-password")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        for (int i = 0; i < iterations && !expired(); i++) {
+            jsonMapper.readValue(jsonMapper.writeValueAsString(user), User.class);
+        }
+    }
+
+    private void warmHibernate() {
+        for (int i = 0; i < queryIterations && !expired(); i++) {
+            readOnlyTx.executeWithoutResult(status -> {
+                userRepository.findByEmail(WARMUP_EMAIL);
+                userRepository.findById(-1L);
+            });
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.user.controller;
+
+import com.sun.management.ThreadMXBean;
+import com.user.entity.User;
+import com.user.repository.UserRepository;
+import com.user.security.JwtUtils;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.Filter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Runs every controller endpoint against an embedded database and checks it against the
+ * {@link EndpointBudget} declared on the handler method. Each endpoint is exercised a few
+ * times first so class loading and first-call caches don't count towards the budget.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EndpointBudgetTests {
+
+    private static final int WARMUP_CALLS = 5;
+    private static final String PASSWORD = "budget-password";
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    @Qualifier("springSecurityFilterChain")
+    private Filter springSecurityFilterChain;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(springSecurityFilterChain)
+                .build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = seedUser();
+        bearer = "Bearer " + jwtUtils.generateToken(user.getEmail());
+    }
+
+    @Test
+    void everyEndpointDeclaresABudget() {
+        for (Class<?> controller : List.of(UserController.class, AuthController.class)) {
+            for (Method method : controller.getDeclaredMethods()) {
+                if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+                    assertNotNull(method.getAnnotation(EndpointBudget.class),
+                            controller.getSimpleName() + "." + method.getName() + " has no @EndpointBudget");
+                }
+            }
+        }
+    }
+
+    @Test
+    void createUser() throws Exception {
+        assertWithinBudget(200, () -> post("/api/users/save")
+                .header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson(nextEmail())));
+    }
+
+    @Test
+    void getUserById() throws Exception {
+        assertWithinBudget(200, () -> get("/api/users/{id}", user.getId())
+                .header("Authorization", bearer));
+    }
+
+    @Test
+    void listUsers() throws Exception {
+        assertWithinBudget(200, () -> get("/api/users")
+                .header("Authorization", bearer));
+    }
+
+    @Test
+    void updateUser() throws Exception {
+        assertWithinBudget(200, () -> put("/api/users/{id}", user.getId())
+                .header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson(user.getEmail())));
+    }
+
+    @Test
+    void deleteUser() throws Exception {
+        assertWithinBudget(204, () -> delete("/api/users/{id}", seedUser().getId())
+                .header("Authorization", bearer));
+    }
+
+    @Test
+    void getByEmail() throws Exception {
+        assertWithinBudget(200, () -> get("/api/users/by-email/{email}", user.getEmail())
+                .header("Authorization", bearer));
+    }
+
+    @Test
+    void login() throws Exception {
+        assertWithinBudget(200, () -> post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + user.getEmail() + "\",\"password\":\"" + PASSWORD + "\"}"));
+    }
+
+    @Test
+    void register() throws Exception {
+        assertWithinBudget(200, () -> post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(userJson(nextEmail())));
+    }
+
+    /**
+     * Builds a fresh request for every call, so any fixtures the supplier creates
+     * are set up before measuring starts.
+     */
+    private void assertWithinBudget(int expectedStatus, Supplier<RequestBuilder> request) throws Exception {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            mockMvc.perform(request.get());
+        }
+
+        RequestBuilder measured = request.get();
+        statistics.clear();
+        RecordingStatementInspector.clear();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+
+        MvcResult result = mockMvc.perform(measured).andReturn();
+
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        long prepared = statistics.getPrepareStatementCount();
+        List<String> statements = RecordingStatementInspector.statements();
+
+        assertEquals(expectedStatus, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        HandlerMethod handler = (HandlerMethod) result.getHandler();
+        assertNotNull(handler, "request was not handled by a controller");
+        EndpointBudget budget = handler.getMethodAnnotation(EndpointBudget.class);
+        assertNotNull(budget, handler.getShortLogMessage() + " has no @EndpointBudget");
+
+        String endpoint = handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        if (prepared > budget.statements()) {
+            fail(endpoint + " prepared " + prepared + " SQL statements, budget is " + budget.statements()
+                    + ":\n  " + String.join("\n  ", statements));
+        }
+        assertTrue(allocated <= budget.allocatedBytes(),
+                endpoint + " allocated " + allocated + " bytes, budget is " + budget.allocatedBytes());
+    }
+
+    private User seedUser() {
+        return userRepository.save(User.builder()
+                .username("budget" + SEQUENCE.incrementAndGet())
+                .email(nextEmail())
+                .password(passwordEncoder.encode(PASSWORD))
+                .build());
+    }
+
+    private static String nextEmail() {
+        return "budget" + SEQUENCE.incrementAndGet() + "@example.com";
+    }
+
+    private static String userJson(String email) {
+        List<String> fields = new ArrayList<>();
+        fields.add("\"username\":\"budget" + SEQUENCE.incrementAndGet() + "\"");
+        fields.add("\"email\":\"" + email + "\"");
+        fields.add("\"password\":\"" + PASSWORD + "\"");
+        fields.add("\"active\":true");
+        return "{" + String.join(",", fields) + "}";
+    }
+}
@@ -0,0 +1,133 @@
+package com.user.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long TIMEOUT_MS = 1000;
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS + 1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter(initial, min, max, TIMEOUT_MS, registry);
+    }
+
+    @Test
+    void authIsShedBeforeReads() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(limiter.tryAcquire(RequestPriority.READ));
+        }
+
+        assertFalse(limiter.tryAcquire(RequestPriority.AUTH), "AUTH may only use 0.7 of the limit");
+        assertTrue(limiter.tryAcquire(RequestPriority.READ));
+        assertTrue(limiter.tryAcquire(RequestPriority.WRITE));
+        assertFalse(limiter.tryAcquire(RequestPriority.WRITE), "WRITE may only use 0.9 of the limit");
+        assertTrue(limiter.tryAcquire(RequestPriority.READ));
+        assertFalse(limiter.tryAcquire(RequestPriority.READ));
+
+        assertEquals(10, registry.get("user.concurrency.in-flight").gauge().value());
+        assertEquals(1, registry.get("user.concurrency.rejected").tag("priority", "auth").counter().count());
+        assertEquals(1, registry.get("user.concurrency.rejected").tag("priority", "read").counter().count());
+    }
+
+    @Test
+    void slowSampleShrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 100);
+        assertTrue(limiter.tryAcquire(RequestPriority.READ));
+
+        limiter.release(SLOW, AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+
+        assertEquals(18, limiter.getLimit(), 0.001);
+        assertEquals(18, registry.get("user.concurrency.limit").gauge().value(), 0.001);
+    }
+
+    @Test
+    void droppedSampleShrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 100);
+        assertTrue(limiter.tryAcquire(RequestPriority.READ));
+
+        limiter.release(FAST, AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+
+        assertEquals(18, limiter.getLimit(), 0.001);
+    }
+
+    @Test
+    void ignoredSampleDoesNotMoveLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 100);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire(RequestPriority.READ));
+            limiter.release(FAST, AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        }
+
+        assertEquals(20, limiter.getLimit(), 0.001);
+    }
+
+    @Test
+    void ignoredSampleOverTimeoutStillShrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 100);
+        assertTrue(limiter.tryAcquire(RequestPriority.READ));
+
+        limiter.release(SLOW, AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+
+        assertEquals(18, limiter.getLimit(), 0.001);
+    }
+
+    @Test
+    void detectsConnectionAndTransactionFailuresInCauseChain() {
+        assertTrue(AdaptiveConcurrencyLimiter.isOverload(new CannotCreateTransactionException("no connection")));
+        assertTrue(AdaptiveConcurrencyLimiter.isOverload(new IllegalStateException("wrapped",
+                new SQLTransientConnectionException("HikariPool-1 - Connection is not available"))));
+        assertFalse(AdaptiveConcurrencyLimiter.isOverload(new DataIntegrityViolationException("duplicate email")));
+    }
+
+    @Test
+    void lowUtilizationDoesNotGrowLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 100);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire(RequestPriority.READ));
+            limiter.release(FAST, AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        }
+
+        assertEquals(20, limiter.getLimit(), 0.001);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limitStaysWithinBounds() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 5, 25);
+        while (limiter.tryAcquire(RequestPriority.READ)) {
+            // fill up to the limit
+        }
+
+        // saturated with steady latency: the limit grows but stops at max
+        for (int i = 0; i < 500; i++) {
+            limiter.release(FAST, AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+            limiter.tryAcquire(RequestPriority.READ);
+        }
+        assertEquals(25, limiter.getLimit(), 0.001);
+
+        // sustained drops: the limit shrinks but stops at min
+        int held = limiter.getInFlight();
+        for (int i = 0; i < held; i++) {
+            limiter.release(SLOW, AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire(RequestPriority.READ));
+            limiter.release(SLOW, AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        }
+        assertEquals(5, limiter.getLimit(), 0.001);
+    }
+}
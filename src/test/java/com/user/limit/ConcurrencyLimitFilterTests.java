@@ -0,0 +1,68 @@
+package com.user.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrencyLimitFilterTests {
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(20, 5, 100, 1000, new SimpleMeterRegistry());
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, true);
+
+    @Test
+    void plainServerErrorDoesNotShrinkLimit() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            MockHttpServletResponse response = call((req, res) ->
+                    ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR));
+            assertEquals(500, response.getStatus());
+        }
+
+        assertEquals(20, limiter.getLimit(), 0.001);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void serviceUnavailableShrinksLimit() throws Exception {
+        call((req, res) -> ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE));
+
+        assertEquals(18, limiter.getLimit(), 0.001);
+    }
+
+    @Test
+    void connectionTimeoutShrinksLimit() {
+        assertThrows(CannotCreateTransactionException.class, () -> call((req, res) -> {
+            throw new CannotCreateTransactionException("Could not open JPA EntityManager",
+                    new SQLTransientConnectionException("HikariPool-1 - Connection is not available"));
+        }));
+
+        assertEquals(18, limiter.getLimit(), 0.001);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void unrelatedExceptionDoesNotShrinkLimit() {
+        assertThrows(IllegalStateException.class, () -> call((req, res) -> {
+            throw new IllegalStateException("bug");
+        }));
+
+        assertEquals(20, limiter.getLimit(), 0.001);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private MockHttpServletResponse call(FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/register");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,191 @@
+package com.user.service;
+
+import com.user.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoginActivityTrackerTests {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private LoginActivityTracker tracker;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void newUserReportsDatabaseDefaults() {
+        User user = createUser();
+
+        assertEquals(0L, user.getLoginCount());
+        assertNull(user.getLastLoginAt());
+        assertEquals(0L, loginCount(user));
+    }
+
+    @Test
+    void coalescesLoginsIntoOneUpdate() {
+        User user = createUser();
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        tracker.recordLogin(user.getEmail());
+        tracker.recordLogin(user.getEmail());
+        tracker.recordLogin(user.getEmail());
+        tracker.flush();
+
+        assertEquals(3L, loginCount(user));
+        Instant first = lastLoginAt(user);
+        assertNotNull(first);
+        assertTrue(!first.isBefore(before), "last_login_at " + first + " is before " + before);
+
+        tracker.recordLogin(user.getEmail());
+        tracker.flush();
+
+        assertEquals(4L, loginCount(user));
+        assertTrue(!lastLoginAt(user).isBefore(first));
+    }
+
+    @Test
+    void neverMovesLastLoginBackwards() {
+        User user = createUser();
+        Instant future = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("UPDATE users SET last_login_at = ? WHERE id = ?", Timestamp.from(future), user.getId());
+
+        tracker.recordLogin(user.getEmail());
+        tracker.flush();
+
+        assertEquals(1L, loginCount(user));
+        assertEquals(future, lastLoginAt(user));
+    }
+
+    @Test
+    void dropsNewUsersWhenBufferIsFull() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoginActivityTracker bounded = new LoginActivityTracker(jdbcTemplate, transactionManager, registry, 1, 500);
+        User first = createUser();
+        User second = createUser();
+
+        bounded.recordLogin(first.getEmail());
+        bounded.recordLogin(second.getEmail());
+        bounded.recordLogin(first.getEmail());
+        bounded.flush();
+
+        assertEquals(2L, loginCount(first));
+        assertEquals(0L, loginCount(second));
+        assertEquals(1, registry.get("user.login-activity.dropped").counter().count());
+        assertEquals(0, registry.get("user.login-activity.pending").gauge().value());
+    }
+
+    @Test
+    void retriesFailedBatchWithoutDoubleCounting() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoginActivityTracker failingOnce = new LoginActivityTracker(
+                new FailAfterBatchJdbcTemplate(jdbcTemplate), transactionManager, registry, 100, 500);
+        User first = createUser();
+        User second = createUser();
+
+        failingOnce.recordLogin(first.getEmail());
+        failingOnce.recordLogin(second.getEmail());
+        failingOnce.recordLogin(second.getEmail());
+        failingOnce.flush();
+
+        // the batch ran, then failed; its transaction must have rolled back
+        assertEquals(0L, loginCount(first));
+        assertEquals(0L, loginCount(second));
+        assertEquals(2, registry.get("user.login-activity.pending").gauge().value());
+
+        failingOnce.flush();
+
+        assertEquals(1L, loginCount(first));
+        assertEquals(2L, loginCount(second));
+        assertEquals(2, registry.get("user.login-activity.flushed").counter().count());
+    }
+
+    @Test
+    void countsLoginsForChangedOrDeletedUsersAsOrphaned() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoginActivityTracker counting = new LoginActivityTracker(jdbcTemplate, transactionManager, registry, 100, 500);
+        User renamed = createUser();
+        User deleted = createUser();
+        User kept = createUser();
+
+        counting.recordLogin(renamed.getEmail());
+        counting.recordLogin(deleted.getEmail());
+        counting.recordLogin(kept.getEmail());
+        jdbcTemplate.update("UPDATE users SET email = ? WHERE id = ?", "renamed-" + renamed.getEmail(), renamed.getId());
+        userService.deleteUser(deleted.getId());
+        counting.flush();
+
+        assertEquals(0L, loginCount(renamed));
+        assertEquals(1L, loginCount(kept));
+        assertEquals(1, registry.get("user.login-activity.flushed").counter().count());
+        assertEquals(2, registry.get("user.login-activity.orphaned").counter().count());
+    }
+
+    private User createUser() {
+        int n = SEQUENCE.incrementAndGet();
+        return userService.createUser(User.builder()
+                .username("tracker" + n)
+                .email("tracker" + n + "@example.com")
+                .password("tracker-password")
+                .build());
+    }
+
+    private long loginCount(User user) {
+        return jdbcTemplate.queryForObject("SELECT login_count FROM users WHERE id = ?", Long.class, user.getId());
+    }
+
+    private Instant lastLoginAt(User user) {
+        Timestamp ts = jdbcTemplate.queryForObject("SELECT last_login_at FROM users WHERE id = ?", Timestamp.class, user.getId());
+        return ts == null ? null : ts.toInstant();
+    }
+
+    /**
+     * Executes the first batch for real and then fails, like a connection dropping mid-flush.
+     */
+    private static class FailAfterBatchJdbcTemplate extends JdbcTemplate {
+
+        private boolean failed;
+
+        FailAfterBatchJdbcTemplate(JdbcTemplate delegate) {
+            super(delegate.getDataSource());
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            int[][] result = super.batchUpdate(sql, batchArgs, batchSize, pss);
+            if (!failed) {
+                failed = true;
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.user.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "warm-up.enabled=true",
+        "warm-up.iterations=5",
+        "warm-up.bcrypt-iterations=1",
+        "warm-up.query-iterations=2"
+})
+@ActiveProfiles("test")
+class WarmupRunnerTests {
+
+    private static final List<String> PHASES = List.of("connection-pool", "jwt", "bcrypt", "jackson", "hibernate");
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void recordsEveryPhaseAndBecomesReady() {
+        for (String phase : PHASES) {
+            assertTrue(phaseTimerCount(phase) >= 1, "phase " + phase + " did not run at startup");
+        }
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+    }
+
+    @Test
+    void writesNothing() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long users = countUsers();
+        List<Long> counts = PHASES.stream().map(this::phaseTimerCount).toList();
+
+        warmupRunner.run(null);
+
+        for (int i = 0; i < PHASES.size(); i++) {
+            assertEquals(counts.get(i) + 1, phaseTimerCount(PHASES.get(i)), "phase " + PHASES.get(i) + " did not run");
+        }
+        assertEquals(users, countUsers());
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+    }
+
+    private long phaseTimerCount(String phase) {
+        return meterRegistry.get("user.warmup.phase").tag("phase", phase).timer().count();
+    }
+
+    private long countUsers() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+    }
+}